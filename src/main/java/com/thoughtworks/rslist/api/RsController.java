@@ -25,7 +25,6 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @Validated
@@ -37,41 +36,21 @@ public class RsController {
   @GetMapping("/rs/list")
   public ResponseEntity<List<RsEvent>> getRsEventListBetween(
       @RequestParam(required = false) Integer start, @RequestParam(required = false) Integer end) {
-    List<RsEvent> rsEvents = rsService.getAllRsEventInOrder();
-//    List<RsEvent> rsEvents =
-//        rsEventRepository.findAll().stream()
-//            .map(
-//                item ->
-//                    RsEvent.builder()
-//                        .eventName(item.getEventName())
-//                        .keyword(item.getKeyword())
-//                        .userId(item.getId())
-//                        .voteNum(item.getVoteNum())
-//                        .build())
-//            .collect(Collectors.toList());
     if (start == null || end == null) {
-      return ResponseEntity.ok(rsEvents);
+      return ResponseEntity.ok(rsService.getAllRsEventInOrder());
     }
-    return ResponseEntity.ok(rsEvents.subList(start - 1, end));
+    if (start < 1 || end < start) {
+      throw new RequestNotValidException("invalid index");
+    }
+    return ResponseEntity.ok(rsService.getRsEventsBetween(start, end));
   }
 
   @GetMapping("/rs/{index}")
   public ResponseEntity<RsEvent> getRsEvent(@PathVariable int index) {
-    List<RsEvent> rsEvents =
-        rsEventRepository.findAll().stream()
-            .map(
-                item ->
-                    RsEvent.builder()
-                        .eventName(item.getEventName())
-                        .keyword(item.getKeyword())
-                        .userId(item.getId())
-                        .voteNum(item.getVoteNum())
-                        .build())
-            .collect(Collectors.toList());
-    if (index < 1 || index > rsEvents.size()) {
-      throw new RequestNotValidException("invalid index");
-    }
-    return ResponseEntity.ok(rsEvents.get(index - 1));
+    return ResponseEntity.ok(
+        rsService
+            .getRsEventAt(index)
+            .orElseThrow(() -> new RequestNotValidException("invalid index")));
   }
 
   @PostMapping("/rs/event")
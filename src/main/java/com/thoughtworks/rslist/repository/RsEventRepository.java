@@ -1,6 +1,8 @@
 package com.thoughtworks.rslist.repository;
 
 import com.thoughtworks.rslist.dto.RsEventDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,6 +11,14 @@ import java.util.List;
 public interface RsEventRepository extends CrudRepository<RsEventDto, Integer> {
   List<RsEventDto> findAll();
 
+  @Query("select e from RsEventDto e where not exists "
+      + "(select t from TradeDto t where t.rsEventDto = e) order by e.voteNum desc, e.id asc")
+  List<RsEventDto> findUnboughtInVoteOrder(Pageable pageable);
+
+  @Query("select count(e) from RsEventDto e where not exists "
+      + "(select t from TradeDto t where t.rsEventDto = e)")
+  int countUnbought();
+
   @Transactional
   void deleteAllByUserId(int userId);
 }
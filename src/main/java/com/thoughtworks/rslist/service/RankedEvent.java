@@ -0,0 +1,31 @@
+package com.thoughtworks.rslist.service;
+
+import com.thoughtworks.rslist.dto.RsEventDto;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Comparator;
+
+@Value
+@Builder(toBuilder = true)
+public class RankedEvent {
+  public static final Comparator<RankedEvent> BY_VOTES =
+      Comparator.comparingInt(RankedEvent::getVoteNum).reversed()
+          .thenComparingInt(RankedEvent::getId);
+
+  int id;
+  String eventName;
+  String keyword;
+  int userId;
+  int voteNum;
+
+  public static RankedEvent from(RsEventDto rsEventDto) {
+    return RankedEvent.builder()
+        .id(rsEventDto.getId())
+        .eventName(rsEventDto.getEventName())
+        .keyword(rsEventDto.getKeyword())
+        .userId(rsEventDto.getUser() == null ? 0 : rsEventDto.getUser().getId())
+        .voteNum(rsEventDto.getVoteNum())
+        .build();
+  }
+}
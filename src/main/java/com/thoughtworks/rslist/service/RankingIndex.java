@@ -0,0 +1,241 @@
+package com.thoughtworks.rslist.service;
+
+import com.thoughtworks.rslist.dto.TradeDto;
+import com.thoughtworks.rslist.repository.RsEventRepository;
+import com.thoughtworks.rslist.repository.TradeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory ranking of all events. Events that hold a purchased rank sit in a sparse slot map,
+ * every other event lives in an order-statistic tree ordered by vote count. A slot is shown at
+ * its exact rank as long as there are enough voted events to reach it, otherwise it collapses
+ * onto the tail of the list.
+ */
+@Component
+public class RankingIndex {
+  private final RsEventRepository rsEventRepository;
+  private final TradeRepository tradeRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Integer, RankedEvent> events = new HashMap<>();
+  private final RankingTree<RankedEvent> byVotes = new RankingTree<>(RankedEvent.BY_VOTES);
+  private final NavigableMap<Integer, Integer> slots = new TreeMap<>();
+  private final Map<Integer, Integer> slotByEvent = new HashMap<>();
+  private volatile boolean loaded;
+
+  public RankingIndex(RsEventRepository rsEventRepository, TradeRepository tradeRepository) {
+    this.rsEventRepository = rsEventRepository;
+    this.tradeRepository = tradeRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reload() {
+    lock.writeLock().lock();
+    try {
+      List<RankedEvent> all =
+          rsEventRepository.findAll().stream().map(RankedEvent::from).collect(Collectors.toList());
+      Map<Integer, Integer> bought = new HashMap<>();
+      for (TradeDto tradeDto : tradeRepository.findAll()) {
+        if (tradeDto.getRsEventDto() != null) {
+          bought.put(tradeDto.getRank(), tradeDto.getRsEventDto().getId());
+        }
+      }
+      reload(all, bought);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void reload(Collection<RankedEvent> all, Map<Integer, Integer> eventIdByRank) {
+    lock.writeLock().lock();
+    try {
+      events.clear();
+      byVotes.clear();
+      slots.clear();
+      slotByEvent.clear();
+      all.forEach(event -> events.put(event.getId(), event));
+      eventIdByRank.forEach(
+          (rank, eventId) -> {
+            if (events.containsKey(eventId)) {
+              slots.put(rank, eventId);
+              slotByEvent.put(eventId, rank);
+            }
+          });
+      events.values().stream()
+          .filter(event -> !slotByEvent.containsKey(event.getId()))
+          .forEach(byVotes::insert);
+      loaded = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public void upsertEvent(RankedEvent event) {
+    lock.writeLock().lock();
+    try {
+      RankedEvent previous = events.put(event.getId(), event);
+      if (slotByEvent.containsKey(event.getId())) {
+        return;
+      }
+      if (previous != null) {
+        byVotes.remove(previous);
+      }
+      byVotes.insert(event);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void addVotes(int eventId, int delta) {
+    lock.writeLock().lock();
+    try {
+      RankedEvent previous = events.get(eventId);
+      if (previous != null) {
+        upsertEvent(previous.toBuilder().voteNum(previous.getVoteNum() + delta).build());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void removeEvent(int eventId) {
+    lock.writeLock().lock();
+    try {
+      RankedEvent previous = events.remove(eventId);
+      Integer rank = slotByEvent.remove(eventId);
+      if (rank != null) {
+        slots.remove(rank);
+      } else if (previous != null) {
+        byVotes.remove(previous);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void assignSlot(int rank, int eventId) {
+    lock.writeLock().lock();
+    try {
+      Integer holder = slots.get(rank);
+      if (holder != null && holder == eventId) {
+        return;
+      }
+      releaseSlot(rank);
+      Integer previousRank = slotByEvent.get(eventId);
+      if (previousRank != null) {
+        releaseSlot(previousRank);
+      }
+      RankedEvent event = events.get(eventId);
+      if (event == null) {
+        return;
+      }
+      byVotes.remove(event);
+      slots.put(rank, eventId);
+      slotByEvent.put(eventId, rank);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void releaseSlot(int rank) {
+    lock.writeLock().lock();
+    try {
+      Integer holder = slots.remove(rank);
+      if (holder == null) {
+        return;
+      }
+      slotByEvent.remove(holder);
+      RankedEvent event = events.get(holder);
+      if (event != null) {
+        byVotes.insert(event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return events.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<RankedEvent> list() {
+    lock.readLock().lock();
+    try {
+      return window(1, events.size());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Optional<RankedEvent> at(int position) {
+    List<RankedEvent> found = window(position, position);
+    return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+  }
+
+  public List<RankedEvent> window(int start, int end) {
+    lock.readLock().lock();
+    try {
+      int total = events.size();
+      int last = Math.min(end, total);
+      if (start < 1 || start > last) {
+        return new ArrayList<>();
+      }
+      int votedUsed = votedBefore(start, byVotes.size(), slots.headMap(start, false).size());
+      Iterator<Map.Entry<Integer, RankedEvent>> slotCursor =
+          slots.entrySet().stream()
+              .skip(start - 1 - votedUsed)
+              .map(slot -> (Map.Entry<Integer, RankedEvent>)
+                  new AbstractMap.SimpleImmutableEntry<>(slot.getKey(), events.get(slot.getValue())))
+              .iterator();
+      return merge(start, last, slotCursor, byVotes.iterator(votedUsed));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  static int votedBefore(int start, int voted, int slotsBefore) {
+    return Math.min(voted, start - 1 - slotsBefore);
+  }
+
+  static <T> List<T> merge(int start, int last,
+      Iterator<Map.Entry<Integer, T>> slotCursor, Iterator<T> votedCursor) {
+    List<T> result = new ArrayList<>(Math.max(0, last - start + 1));
+    Map.Entry<Integer, T> nextSlot = slotCursor.hasNext() ? slotCursor.next() : null;
+    for (int position = start; position <= last; position++) {
+      if (nextSlot != null && (nextSlot.getKey() == position || !votedCursor.hasNext())) {
+        result.add(nextSlot.getValue());
+        nextSlot = slotCursor.hasNext() ? slotCursor.next() : null;
+      } else if (votedCursor.hasNext()) {
+        result.add(votedCursor.next());
+      } else {
+        break;
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,97 @@
+package com.thoughtworks.rslist.service;
+
+import com.thoughtworks.rslist.dto.RsEventDto;
+import com.thoughtworks.rslist.dto.TradeDto;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Keeps {@link RankingIndex} in step with committed entity changes, including changes made
+ * directly through the repositories.
+ */
+@Component
+public class RankingIndexSynchronizer
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+  private final EntityManagerFactory entityManagerFactory;
+  private final RankingIndex rankingIndex;
+
+  public RankingIndexSynchronizer(
+      EntityManagerFactory entityManagerFactory, RankingIndex rankingIndex) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.rankingIndex = rankingIndex;
+  }
+
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    saved(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    saved(event.getEntity());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    Object entity = event.getEntity();
+    if (entity instanceof RsEventDto) {
+      rankingIndex.removeEvent(((RsEventDto) entity).getId());
+    } else if (entity instanceof TradeDto) {
+      rankingIndex.releaseSlot(((TradeDto) entity).getRank());
+    }
+  }
+
+  private void saved(Object entity) {
+    if (entity instanceof RsEventDto) {
+      rankingIndex.upsertEvent(RankedEvent.from((RsEventDto) entity));
+    } else if (entity instanceof TradeDto) {
+      TradeDto tradeDto = (TradeDto) entity;
+      if (tradeDto.getRsEventDto() == null) {
+        rankingIndex.releaseSlot(tradeDto.getRank());
+      } else {
+        rankingIndex.assignSlot(tradeDto.getRank(), tradeDto.getRsEventDto().getId());
+      }
+    }
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    Class<?> type = persister.getMappedClass();
+    return type == RsEventDto.class || type == TradeDto.class;
+  }
+}
@@ -0,0 +1,201 @@
+package com.thoughtworks.rslist.service;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap: every node knows the size of its subtree, so finding the k-th element
+ * or the position of an element costs O(log n). Not thread safe, callers guard it.
+ */
+class RankingTree<T> implements Iterable<T> {
+  private final Comparator<? super T> comparator;
+  private final SplittableRandom random = new SplittableRandom();
+  private Node<T> root;
+
+  RankingTree(Comparator<? super T> comparator) {
+    this.comparator = comparator;
+  }
+
+  int size() {
+    return size(root);
+  }
+
+  void clear() {
+    root = null;
+  }
+
+  void insert(T value) {
+    root = insert(root, new Node<>(value, random.nextInt()));
+  }
+
+  boolean remove(T value) {
+    int before = size(root);
+    root = remove(root, value);
+    return size(root) < before;
+  }
+
+  T get(int index) {
+    if (index < 0 || index >= size(root)) {
+      throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+    Node<T> node = root;
+    while (true) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index == leftSize) {
+        return node.value;
+      } else {
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  int indexOf(T value) {
+    int index = 0;
+    Node<T> node = root;
+    while (node != null) {
+      int cmp = comparator.compare(value, node.value);
+      if (cmp < 0) {
+        node = node.left;
+      } else if (cmp == 0) {
+        return index + size(node.left);
+      } else {
+        index += size(node.left) + 1;
+        node = node.right;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return iterator(0);
+  }
+
+  Iterator<T> iterator(int from) {
+    Deque<Node<T>> path = new ArrayDeque<>();
+    Node<T> node = root;
+    int index = from;
+    while (node != null) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        path.push(node);
+        node = node.left;
+      } else if (index == leftSize) {
+        path.push(node);
+        break;
+      } else {
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+    return new Iterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return !path.isEmpty();
+      }
+
+      @Override
+      public T next() {
+        if (path.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Node<T> current = path.pop();
+        for (Node<T> next = current.right; next != null; next = next.left) {
+          path.push(next);
+        }
+        return current.value;
+      }
+    };
+  }
+
+  private Node<T> insert(Node<T> node, Node<T> fresh) {
+    if (node == null) {
+      return fresh;
+    }
+    if (comparator.compare(fresh.value, node.value) < 0) {
+      node.left = insert(node.left, fresh);
+      if (node.left.priority > node.priority) {
+        node = rotateRight(node);
+      }
+    } else {
+      node.right = insert(node.right, fresh);
+      if (node.right.priority > node.priority) {
+        node = rotateLeft(node);
+      }
+    }
+    return node.update();
+  }
+
+  private Node<T> remove(Node<T> node, T value) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = comparator.compare(value, node.value);
+    if (cmp < 0) {
+      node.left = remove(node.left, value);
+    } else if (cmp > 0) {
+      node.right = remove(node.right, value);
+    } else {
+      return merge(node.left, node.right);
+    }
+    return node.update();
+  }
+
+  private Node<T> merge(Node<T> left, Node<T> right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      return left.update();
+    }
+    right.left = merge(left, right.left);
+    return right.update();
+  }
+
+  private Node<T> rotateRight(Node<T> node) {
+    Node<T> left = node.left;
+    node.left = left.right;
+    left.right = node.update();
+    return left;
+  }
+
+  private Node<T> rotateLeft(Node<T> node) {
+    Node<T> right = node.right;
+    node.right = right.left;
+    right.left = node.update();
+    return right;
+  }
+
+  private static int size(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static final class Node<T> {
+    final T value;
+    final int priority;
+    Node<T> left;
+    Node<T> right;
+    int size = 1;
+
+    Node(T value, int priority) {
+      this.value = value;
+      this.priority = priority;
+    }
+
+    Node<T> update() {
+      size = 1 + RankingTree.size(left) + RankingTree.size(right);
+      return this;
+    }
+  }
+}
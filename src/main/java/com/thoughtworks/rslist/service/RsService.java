@@ -8,14 +8,19 @@ import com.thoughtworks.rslist.dto.TradeDto;
 import com.thoughtworks.rslist.dto.UserDto;
 import com.thoughtworks.rslist.dto.VoteDto;
 import com.thoughtworks.rslist.exception.InvalidBuyException;
+import com.thoughtworks.rslist.repository.OffsetPageRequest;
 import com.thoughtworks.rslist.repository.RsEventRepository;
 import com.thoughtworks.rslist.repository.TradeRepository;
 import com.thoughtworks.rslist.repository.UserRepository;
 import com.thoughtworks.rslist.repository.VoteRepository;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,13 +30,16 @@ public class RsService {
   final UserRepository userRepository;
   final VoteRepository voteRepository;
   final TradeRepository tradeRepository;
+  final RankingIndex rankingIndex;
 
   public RsService(RsEventRepository rsEventRepository, UserRepository userRepository,
-                   VoteRepository voteRepository, TradeRepository tradeRepository) {
+                   VoteRepository voteRepository, TradeRepository tradeRepository,
+                   RankingIndex rankingIndex) {
     this.rsEventRepository = rsEventRepository;
     this.userRepository = userRepository;
     this.voteRepository = voteRepository;
     this.tradeRepository = tradeRepository;
+    this.rankingIndex = rankingIndex;
   }
 
   public void vote(Vote vote, int rsEventId) {
@@ -99,49 +107,60 @@ public class RsService {
   }
 
   public List<RsEvent> getAllRsEventInOrder() {
-    List<RsEventDto> allRsEvents = rsEventRepository.findAll();
-    List<RsEventDto> rsEventBought = allRsEvents.stream()
-            .filter(o->o.getTradeDto() != null).collect(Collectors.toList());
-
-    List<Integer> boughtRanks = rsEventBought.stream()
-            .mapToInt(o->o.getTradeDto().getRank()).boxed().collect(Collectors.toList());
-
-    List<RsEventDto> rsEventNotBought = allRsEvents.stream()
-            .filter(o->o.getTradeDto() == null).collect(Collectors.toList());
-
-    if (rsEventBought.size() == 0) {
-      return rsEventNotBought.stream()
-              .map(RsService::mapFromRsEventDtoToRsEvent).sorted((o1, o2) -> o2.getVoteNum() - o1.getVoteNum())
-              .collect(Collectors.toList());
-    }
-
-    RsEvent[] events = new RsEvent[allRsEvents.size()];
-
-    for (int i = 0; i < rsEventBought.size(); ++i) {
-      int pos = rsEventBought.get(i).getTradeDto().getRank();
-      events[pos - 1] = mapFromRsEventDtoToRsEvent(rsEventBought.get(i));
+    if (!rankingIndex.isLoaded()) {
+      rankingIndex.reload();
     }
+    return rankingIndex.list().stream()
+            .map(RsService::mapFromRankedEventToRsEvent)
+            .collect(Collectors.toList());
+  }
 
-    int start = 0;
-    for(int i = 0; i < events.length && start < rsEventNotBought.size(); ++i) {
-      if (events[i] == null ) {
-        events[i] = mapFromRsEventDtoToRsEvent(rsEventNotBought.get(start));
-        ++start;
-      }
-    }
+  public List<RsEvent> getRsEventsBetween(int start, int end) {
+    List<RankedEvent> window = rankingIndex.isLoaded()
+            ? rankingIndex.window(start, end)
+            : readWindowFromDatabase(start, end);
+    return window.stream()
+            .map(RsService::mapFromRankedEventToRsEvent)
+            .collect(Collectors.toList());
+  }
 
-    return Arrays.asList(events);
+  public Optional<RsEvent> getRsEventAt(int index) {
+    List<RsEvent> found = getRsEventsBetween(index, index);
+    return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
   }
 
-  private static RsEvent mapFromRsEventDtoToRsEvent(RsEventDto rsEventDto) {
-    if (rsEventDto == null) {
-      return null;
+  private List<RankedEvent> readWindowFromDatabase(int start, int end) {
+    int voted = rsEventRepository.countUnbought();
+    int bought = tradeRepository.countByRsEventDtoIsNotNull();
+    int last = Math.min(end, voted + bought);
+    if (start < 1 || start > last) {
+      return new ArrayList<>();
     }
+    int pageSize = last - start + 1;
+    int votedUsed = RankingIndex.votedBefore(start, voted,
+            tradeRepository.countByRankLessThanAndRsEventDtoIsNotNull(start));
+    int slotsUsed = start - 1 - votedUsed;
+
+    Iterator<Map.Entry<Integer, RankedEvent>> slotCursor = slotsUsed >= bought
+            ? Collections.emptyIterator()
+            : tradeRepository.findAllByRsEventDtoIsNotNullOrderByRankAsc(
+                    new OffsetPageRequest(slotsUsed, pageSize)).stream()
+            .map(tradeDto -> (Map.Entry<Integer, RankedEvent>) new AbstractMap.SimpleImmutableEntry<>(
+                    tradeDto.getRank(), RankedEvent.from(tradeDto.getRsEventDto())))
+            .iterator();
+    Iterator<RankedEvent> votedCursor = votedUsed >= voted
+            ? Collections.emptyIterator()
+            : rsEventRepository.findUnboughtInVoteOrder(new OffsetPageRequest(votedUsed, pageSize))
+            .stream().map(RankedEvent::from).iterator();
+    return RankingIndex.merge(start, last, slotCursor, votedCursor);
+  }
 
+  private static RsEvent mapFromRankedEventToRsEvent(RankedEvent rankedEvent) {
     return RsEvent.builder()
-            .eventName(rsEventDto.getEventName())
-            .keyword(rsEventDto.getKeyword())
-            .voteNum(rsEventDto.getVoteNum())
+            .eventName(rankedEvent.getEventName())
+            .keyword(rankedEvent.getKeyword())
+            .voteNum(rankedEvent.getVoteNum())
+            .userId(rankedEvent.getUserId())
             .build();
   }
 }
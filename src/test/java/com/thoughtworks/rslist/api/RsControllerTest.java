@@ -361,4 +361,49 @@ class RsControllerTest {
             .andExpect(jsonPath("$[2].eventName", is("第三条事件")))
             .andExpect(jsonPath("$[2].voteNum", is(7)));
   }
+
+  @Test
+  public void should_get_rs_event_by_index_and_range_with_rank_bought() throws Exception {
+    UserDto save = userRepository.save(userDto);
+
+    RsEventDto rsEventDto1 =
+            RsEventDto.builder().keyword("无分类").eventName("第一条事件").user(save).voteNum(4).build();
+
+    RsEventDto rsEventDto2 =
+            RsEventDto.builder().keyword("无分类").eventName("第二条事件").user(save).voteNum(8).build();
+
+    RsEventDto rsEventDto3 =
+            RsEventDto.builder().keyword("无分类").eventName("第三条事件").user(save).voteNum(7).build();
+
+    rsEventRepository.save(rsEventDto1);
+    rsEventRepository.save(rsEventDto2);
+    rsEventRepository.save(rsEventDto3);
+
+    TradeDto tradeDto = TradeDto.builder().rank(2).amount(100).rsEventDto(rsEventDto1).build();
+    tradeRepository.save(tradeDto);
+
+    mockMvc.perform(get("/rs/2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.eventName", is("第一条事件")));
+    mockMvc.perform(get("/rs/3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.eventName", is("第三条事件")));
+    mockMvc.perform(get("/rs/list?start=2&end=5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].eventName", is("第一条事件")))
+            .andExpect(jsonPath("$[1].eventName", is("第三条事件")));
+  }
+
+  @Test
+  public void should_get_error_when_range_invalid() throws Exception {
+    mockMvc
+        .perform(get("/rs/list?start=0&end=2"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("invalid index")));
+    mockMvc
+        .perform(get("/rs/list?start=3&end=2"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error", is("invalid index")));
+  }
 }
@@ -0,0 +1,114 @@
+package com.thoughtworks.rslist.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankingIndexTest {
+  RankingIndex rankingIndex;
+
+  @BeforeEach
+  void setUp() {
+    rankingIndex = new RankingIndex(null, null);
+  }
+
+  private static RankedEvent event(int id, int voteNum) {
+    return RankedEvent.builder().id(id).eventName("event" + id).keyword("key").voteNum(voteNum).build();
+  }
+
+  private static List<Integer> ids(List<RankedEvent> events) {
+    return events.stream().map(RankedEvent::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void should_order_events_by_vote_num_then_id() {
+    rankingIndex.reload(Arrays.asList(event(1, 4), event(2, 8), event(3, 7), event(4, 8)), Collections.emptyMap());
+
+    assertEquals(Arrays.asList(2, 4, 3, 1), ids(rankingIndex.list()));
+  }
+
+  @Test
+  void should_put_bought_event_at_its_rank() {
+    Map<Integer, Integer> slots = new HashMap<>();
+    slots.put(1, 1);
+    rankingIndex.reload(Arrays.asList(event(1, 4), event(2, 8), event(3, 7)), slots);
+
+    assertEquals(Arrays.asList(1, 2, 3), ids(rankingIndex.list()));
+    assertEquals(Arrays.asList(2, 3), ids(rankingIndex.window(2, 3)));
+    assertEquals(1, rankingIndex.at(1).get().getId());
+  }
+
+  @Test
+  void should_collapse_bought_rank_beyond_list_onto_tail() {
+    Map<Integer, Integer> slots = new HashMap<>();
+    slots.put(10, 1);
+    rankingIndex.reload(Arrays.asList(event(1, 9), event(2, 8), event(3, 7)), slots);
+
+    assertEquals(Arrays.asList(2, 3, 1), ids(rankingIndex.list()));
+    assertEquals(Collections.singletonList(1), ids(rankingIndex.window(3, 5)));
+    assertFalse(rankingIndex.at(4).isPresent());
+  }
+
+  @Test
+  void should_move_event_when_votes_added() {
+    rankingIndex.reload(Arrays.asList(event(1, 1), event(2, 2)), Collections.emptyMap());
+
+    rankingIndex.addVotes(1, 5);
+
+    assertEquals(Arrays.asList(1, 2), ids(rankingIndex.list()));
+    assertEquals(6, rankingIndex.at(1).get().getVoteNum());
+  }
+
+  @Test
+  void should_update_slots_and_removals() {
+    rankingIndex.reload(Arrays.asList(event(1, 1), event(2, 2), event(3, 3)), Collections.emptyMap());
+
+    rankingIndex.assignSlot(1, 1);
+    assertEquals(Arrays.asList(1, 3, 2), ids(rankingIndex.list()));
+
+    rankingIndex.assignSlot(1, 2);
+    assertEquals(Arrays.asList(2, 3, 1), ids(rankingIndex.list()));
+
+    rankingIndex.removeEvent(2);
+    assertEquals(Arrays.asList(3, 1), ids(rankingIndex.list()));
+
+    rankingIndex.upsertEvent(event(4, 0));
+    rankingIndex.releaseSlot(1);
+    assertEquals(Arrays.asList(3, 1, 4), ids(rankingIndex.list()));
+  }
+
+  @Test
+  void should_match_sorted_list_for_random_updates() {
+    Random random = new Random(42);
+    Map<Integer, RankedEvent> expected = new HashMap<>();
+    for (int id = 1; id <= 500; id++) {
+      expected.put(id, event(id, random.nextInt(50)));
+    }
+    rankingIndex.reload(expected.values(), Collections.emptyMap());
+    for (int i = 0; i < 2000; i++) {
+      int id = 1 + random.nextInt(500);
+      int delta = random.nextInt(10);
+      rankingIndex.addVotes(id, delta);
+      RankedEvent old = expected.get(id);
+      expected.put(id, old.toBuilder().voteNum(old.getVoteNum() + delta).build());
+    }
+    List<RankedEvent> sorted = new ArrayList<>(expected.values());
+    sorted.sort(RankedEvent.BY_VOTES);
+
+    assertEquals(ids(sorted), ids(rankingIndex.list()));
+    assertEquals(ids(sorted.subList(99, 200)), ids(rankingIndex.window(100, 200)));
+    assertTrue(rankingIndex.window(501, 600).isEmpty());
+  }
+}
@@ -1,5 +1,6 @@
 package com.thoughtworks.rslist.service;
 
+import com.thoughtworks.rslist.domain.RsEvent;
 import com.thoughtworks.rslist.domain.Trade;
 import com.thoughtworks.rslist.domain.Vote;
 import com.thoughtworks.rslist.dto.RsEventDto;
@@ -13,15 +14,21 @@ import com.thoughtworks.rslist.repository.UserRepository;
 import com.thoughtworks.rslist.repository.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
 
 import javax.persistence.Id;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -33,6 +40,7 @@ class RsServiceTest {
   @Mock UserRepository userRepository;
   @Mock VoteRepository voteRepository;
   @Mock TradeRepository tradeRepository;
+  @Mock RankingIndex rankingIndex;
   LocalDateTime localDateTime;
   Vote vote;
   Trade trade;
@@ -40,7 +48,8 @@ class RsServiceTest {
   @BeforeEach
   void setUp() {
     initMocks(this);
-    rsService = new RsService(rsEventRepository, userRepository, voteRepository, tradeRepository);
+    rsService = new RsService(rsEventRepository, userRepository, voteRepository, tradeRepository,
+            rankingIndex);
     localDateTime = LocalDateTime.now();
     vote = Vote.builder().voteNum(2).rsEventId(1).time(localDateTime).userId(1).build();
     trade = Trade.builder().amount(100).rank(1).build();
@@ -209,4 +218,31 @@ class RsServiceTest {
                     .build()
     );
   }
+
+  @Test
+  void should_read_only_requested_window_from_database_when_index_not_loaded() {
+    RsEventDto bought = RsEventDto.builder().id(1).eventName("bought").keyword("key").voteNum(1).build();
+    RsEventDto voted = RsEventDto.builder().id(2).eventName("voted").keyword("key").voteNum(9).build();
+    TradeDto tradeDto = TradeDto.builder().rank(3).amount(10).rsEventDto(bought).build();
+
+    when(rankingIndex.isLoaded()).thenReturn(false);
+    when(rsEventRepository.countUnbought()).thenReturn(100);
+    when(tradeRepository.countByRsEventDtoIsNotNull()).thenReturn(1);
+    when(tradeRepository.countByRankLessThanAndRsEventDtoIsNotNull(2)).thenReturn(0);
+    when(tradeRepository.findAllByRsEventDtoIsNotNullOrderByRankAsc(any()))
+        .thenReturn(Collections.singletonList(tradeDto));
+    when(rsEventRepository.findUnboughtInVoteOrder(any()))
+        .thenReturn(Collections.singletonList(voted));
+
+    List<RsEvent> window = rsService.getRsEventsBetween(2, 3);
+
+    assertEquals(2, window.size());
+    assertEquals("voted", window.get(0).getEventName());
+    assertEquals("bought", window.get(1).getEventName());
+    ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+    verify(rsEventRepository).findUnboughtInVoteOrder(pageable.capture());
+    assertEquals(1, pageable.getValue().getOffset());
+    assertEquals(2, pageable.getValue().getPageSize());
+    verify(rsEventRepository, never()).findAll();
+  }
 }